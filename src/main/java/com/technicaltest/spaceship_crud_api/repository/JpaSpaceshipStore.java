@@ -0,0 +1,48 @@
+package com.technicaltest.spaceship_crud_api.repository;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link SpaceshipStore} backed by the JPA {@link SpaceshipRepository}. This is the default store.
+ */
+@Repository
+@ConditionalOnProperty(name = "spaceship.store.type", havingValue = "jpa", matchIfMissing = true)
+public class JpaSpaceshipStore implements SpaceshipStore {
+
+    private final SpaceshipRepository repository;
+
+    public JpaSpaceshipStore(SpaceshipRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Spaceship> findAll(int page, int size) {
+        return repository.findAll(PageRequest.of(page, size)).getContent();
+    }
+
+    @Override
+    public Optional<Spaceship> findById(Long id) {
+        return repository.findById(id);
+    }
+
+    @Override
+    public List<Spaceship> findByNameContaining(String name) {
+        return repository.findByNameContaining(name);
+    }
+
+    @Override
+    public Spaceship save(Spaceship spaceship) {
+        return repository.save(spaceship);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        repository.deleteById(id);
+    }
+}
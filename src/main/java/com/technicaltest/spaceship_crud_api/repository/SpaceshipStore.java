@@ -0,0 +1,67 @@
+package com.technicaltest.spaceship_crud_api.repository;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage engine used by the service layer to persist spaceships.
+ *
+ * The implementation is selected with the {@code spaceship.store.type} property:
+ * {@code jpa} (default) delegates to {@link SpaceshipRepository}, while {@code memory}
+ * keeps every spaceship in memory backed by a write-ahead log on disk.
+ */
+public interface SpaceshipStore {
+
+    /**
+     * Retrieves a page of spaceships ordered as the underlying storage returns them.
+     *
+     * @param page the zero-based page index
+     * @param size the number of spaceships per page
+     * @return the spaceships on the requested page
+     */
+    List<Spaceship> findAll(int page, int size);
+
+    /**
+     * Retrieves a spaceship by its ID.
+     *
+     * @param id the ID of the spaceship
+     * @return the spaceship, or an empty {@link Optional} if it does not exist
+     */
+    Optional<Spaceship> findById(Long id);
+
+    /**
+     * Retrieves every spaceship whose name contains the given text.
+     *
+     * @param name the text to look for in spaceship names
+     * @return the matching spaceships
+     */
+    List<Spaceship> findByNameContaining(String name);
+
+    /**
+     * Creates or updates a spaceship. A new ID is generated when the spaceship has
+     * no ID or its ID does not exist yet.
+     *
+     * @param spaceship the spaceship to save
+     * @return the saved spaceship
+     */
+    Spaceship save(Spaceship spaceship);
+
+    /**
+     * Deletes a spaceship by its ID. Unknown IDs are ignored.
+     *
+     * @param id the ID of the spaceship to delete
+     */
+    void deleteById(Long id);
+
+    /**
+     * Indicates whether spaceships were stored by a previous run, even if all of them have
+     * since been deleted, in which case the initial data must not be loaded again.
+     *
+     * @return {@code true} if data was recovered from a previous run
+     */
+    default boolean hasRecoveredData() {
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import java.io.IOException;
+
+/**
+ * Thrown when an encoded {@link SpaceshipRecord} contains a value that could not have been written
+ * by the store, such as a negative or oversized string length.
+ */
+class CorruptRecordException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new CorruptRecordException with the specified detail message.
+     *
+     * @param message the detail message that explains what is corrupt
+     */
+    CorruptRecordException(String message) {
+        super(message);
+    }
+}
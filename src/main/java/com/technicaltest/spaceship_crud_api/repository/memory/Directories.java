@@ -0,0 +1,41 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Helpers for making directory entries durable. Creating or renaming a file is only guaranteed
+ * to survive a crash once the directory that holds it has been synced.
+ */
+final class Directories {
+
+    private Directories() {
+    }
+
+    /**
+     * Syncs the given directory so that the files created or renamed in it are durable.
+     *
+     * @param directory the directory to sync
+     * @throws IOException if the directory cannot be synced
+     */
+    static void sync(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Syncs the directory that holds the given file.
+     *
+     * @param file the file whose directory entry must be durable
+     * @throws IOException if the directory cannot be synced
+     */
+    static void syncParent(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            sync(parent);
+        }
+    }
+}
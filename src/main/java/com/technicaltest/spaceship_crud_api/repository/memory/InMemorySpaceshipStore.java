@@ -0,0 +1,303 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+import com.technicaltest.spaceship_crud_api.repository.SpaceshipStore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link SpaceshipStore} that keeps every spaceship in memory, enabled with
+ * {@code spaceship.store.type=memory}.
+ *
+ * Spaceships are held as immutable {@link SpaceshipRecord}s in a concurrent map ordered by ID,
+ * so reads never take a lock. Writes are serialised and appended to a {@link WriteAheadLog},
+ * with concurrent writers sharing a single fsync. Until its entry is durable a change is only
+ * tracked as pending, so that later writers see it, and it is published to readers in log order
+ * once the fsync succeeds. A change whose fsync fails is therefore never visible.
+ *
+ * A background task checks the log at a fixed interval and compacts it into a
+ * {@link SnapshotFile} once it grows beyond the configured threshold, so writers never pay for
+ * compaction; a failed compaction is simply retried at the next interval. If the log cannot be
+ * written or synced the store keeps serving reads but rejects every further write. On startup
+ * the snapshot is loaded and the log replayed to recover the state left by the previous run.
+ */
+@Repository
+@ConditionalOnProperty(name = "spaceship.store.type", havingValue = "memory")
+public class InMemorySpaceshipStore implements SpaceshipStore {
+
+    static final String LOG_FILE = "spaceships.wal";
+    static final String SNAPSHOT_FILE = "spaceships.snapshot";
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySpaceshipStore.class);
+
+    private final ConcurrentNavigableMap<Long, SpaceshipRecord> records = new ConcurrentSkipListMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Deque<PendingChange> pendingChanges = new ArrayDeque<>();
+    private final Map<Long, PendingChange> pendingById = new HashMap<>();
+    private final Path directory;
+    private final long compactionThresholdBytes;
+    private final long compactionIntervalMs;
+    private final ScheduledExecutorService compactionScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "spaceship-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private WriteAheadLog log;
+    private long nextId;
+    private boolean recoveredData;
+
+    public InMemorySpaceshipStore(
+            @Value("${spaceship.store.memory.directory:data}") String directory,
+            @Value("${spaceship.store.memory.compaction-threshold-bytes:1048576}") long compactionThresholdBytes,
+            @Value("${spaceship.store.memory.compaction-interval-ms:10000}") long compactionIntervalMs) {
+        this.directory = Paths.get(directory);
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.compactionIntervalMs = compactionIntervalMs;
+    }
+
+    /**
+     * Recovers the spaceships stored by a previous run from the snapshot and the write-ahead log,
+     * then compacts the log so that the next startup only has to read the snapshot, and starts
+     * the periodic compaction.
+     */
+    @PostConstruct
+    public void open() {
+        writeLock.lock();
+        try {
+            Files.createDirectories(directory);
+            Directories.sync(directory);
+            Directories.syncParent(directory);
+            SnapshotFile.Snapshot snapshot = SnapshotFile.read(directory.resolve(SNAPSHOT_FILE));
+            nextId = snapshot.nextId();
+            for (SpaceshipRecord record : snapshot.records()) {
+                records.put(record.id(), record);
+            }
+            log = openLog(directory.resolve(LOG_FILE));
+            log.replay(this::apply, records::remove);
+            if (log.size() > 0) {
+                compact();
+            }
+            recoveredData = nextId > 1;
+            logger.info("Recovered {} spaceships from {}", records.size(), directory.toAbsolutePath());
+            compactionScheduler.scheduleWithFixedDelay(this::compactIfNeeded,
+                    compactionIntervalMs, compactionIntervalMs, TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to recover spaceships from " + directory, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the periodic compaction and closes the write-ahead log. Every acknowledged write is
+     * already durable at this point.
+     */
+    @PreDestroy
+    public void close() {
+        compactionScheduler.shutdown();
+        writeLock.lock();
+        try {
+            if (log != null) {
+                log.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to close the spaceship write-ahead log", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Spaceship> findAll(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return records.values().stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(SpaceshipRecord::toSpaceship)
+                .toList();
+    }
+
+    @Override
+    public Optional<Spaceship> findById(Long id) {
+        Assert.notNull(id, "The given id must not be null");
+        return Optional.ofNullable(records.get(id)).map(SpaceshipRecord::toSpaceship);
+    }
+
+    @Override
+    public List<Spaceship> findByNameContaining(String name) {
+        Assert.notNull(name, "The given name must not be null");
+        return records.values().stream()
+                .filter(record -> record.name() != null && record.name().contains(name))
+                .map(SpaceshipRecord::toSpaceship)
+                .toList();
+    }
+
+    @Override
+    public Spaceship save(Spaceship spaceship) {
+        Assert.notNull(spaceship, "The given spaceship must not be null");
+        SpaceshipRecord record;
+        long seq;
+        writeLock.lock();
+        try {
+            checkWritable();
+            Long id = spaceship.getId();
+            long key = id != null && exists(id) ? id : nextId++;
+            record = SpaceshipRecord.of(key, spaceship);
+            seq = log.appendPut(record);
+            addPending(new PendingChange(seq, key, record));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to save spaceship", e);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurableAndPublish(seq);
+        return record.toSpaceship();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Assert.notNull(id, "The given id must not be null");
+        long seq;
+        writeLock.lock();
+        try {
+            checkWritable();
+            if (!exists(id)) {
+                return;
+            }
+            seq = log.appendDelete(id);
+            addPending(new PendingChange(seq, id, null));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to delete spaceship with ID " + id, e);
+        } finally {
+            writeLock.unlock();
+        }
+        awaitDurableAndPublish(seq);
+    }
+
+    @Override
+    public boolean hasRecoveredData() {
+        return recoveredData;
+    }
+
+    /**
+     * Opens the write-ahead log at the given path. Tests override this to inject I/O failures.
+     */
+    WriteAheadLog openLog(Path path) throws IOException {
+        return WriteAheadLog.open(path);
+    }
+
+    private void apply(SpaceshipRecord record) {
+        records.put(record.id(), record);
+        nextId = Math.max(nextId, record.id() + 1);
+    }
+
+    private void checkWritable() {
+        if (log.hasFailed()) {
+            throw new IllegalStateException("Spaceship store no longer accepts writes after a write-ahead log failure");
+        }
+    }
+
+    private boolean exists(long id) {
+        PendingChange pending = pendingById.get(id);
+        return pending != null ? pending.record() != null : records.containsKey(id);
+    }
+
+    private void addPending(PendingChange change) {
+        pendingChanges.addLast(change);
+        pendingById.put(change.id(), change);
+    }
+
+    private void awaitDurableAndPublish(long seq) {
+        try {
+            log.awaitDurable(seq);
+        } catch (IOException e) {
+            logger.error("Unable to sync the spaceship write-ahead log, rejecting further writes", e);
+            throw new UncheckedIOException("Unable to confirm that the change is durable", e);
+        }
+        writeLock.lock();
+        try {
+            publishDurableChanges();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Makes every pending change that is already durable visible to readers, in log order.
+     * Must be called while holding the write lock.
+     */
+    private void publishDurableChanges() {
+        long durableSeq = log.durableSeq();
+        while (!pendingChanges.isEmpty() && pendingChanges.peekFirst().seq() <= durableSeq) {
+            PendingChange change = pendingChanges.removeFirst();
+            if (change.record() != null) {
+                records.put(change.id(), change.record());
+            } else {
+                records.remove(change.id());
+            }
+            pendingById.remove(change.id(), change);
+        }
+    }
+
+    /**
+     * Compacts the log if it has grown beyond the threshold. Runs on the compaction thread.
+     */
+    void compactIfNeeded() {
+        writeLock.lock();
+        try {
+            if (!log.hasFailed() && log.size() >= compactionThresholdBytes) {
+                compact();
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to compact the spaceship write-ahead log, retrying in {} ms: {}",
+                    compactionIntervalMs, e.toString());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void compact() throws IOException {
+        log.awaitDurable(log.appendedSeq());
+        publishDurableChanges();
+        SnapshotFile.write(directory.resolve(SNAPSHOT_FILE), nextId, new ArrayList<>(records.values()));
+        log.reset();
+        logger.debug("Compacted spaceship write-ahead log into a snapshot of {} spaceships", records.size());
+    }
+
+    /**
+     * A change appended to the log but not yet visible to readers; {@code record} is
+     * {@code null} for a deletion.
+     */
+    private record PendingChange(long seq, long id, SpaceshipRecord record) {
+    }
+}
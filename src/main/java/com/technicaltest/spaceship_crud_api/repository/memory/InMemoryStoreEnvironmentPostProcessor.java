@@ -0,0 +1,41 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Excludes the JPA, H2 and Flyway auto-configuration when {@code spaceship.store.type=memory},
+ * so that the in-memory store starts without a datasource or an {@code EntityManagerFactory}.
+ * Exclusions configured by the user, in any form the binder accepts, are kept.
+ */
+public class InMemoryStoreEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    private static final String EXCLUDE_PROPERTY = "spring.autoconfigure.exclude";
+    private static final List<String> EXCLUDED_AUTO_CONFIGURATIONS = List.of(
+            "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration",
+            "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+            "org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration",
+            "org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration",
+            "org.springframework.boot.autoconfigure.h2.H2ConsoleAutoConfiguration");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (!"memory".equalsIgnoreCase(environment.getProperty("spaceship.store.type"))) {
+            return;
+        }
+        List<String> excluded = new ArrayList<>(Binder.get(environment)
+                .bind(EXCLUDE_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of()));
+        excluded.addAll(EXCLUDED_AUTO_CONFIGURATIONS);
+        environment.getPropertySources().addFirst(new MapPropertySource("inMemorySpaceshipStore",
+                Map.of(EXCLUDE_PROPERTY, String.join(",", excluded))));
+    }
+}
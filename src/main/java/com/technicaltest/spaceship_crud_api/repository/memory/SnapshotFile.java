@@ -0,0 +1,103 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compacted image of every spaceship held by {@link InMemorySpaceshipStore}.
+ *
+ * Snapshots are written to a temporary file, synced and then atomically renamed over the
+ * previous one, so a crash during compaction always leaves a complete snapshot behind. The
+ * directory is synced after the rename so that the new snapshot is durable before the caller
+ * discards the write-ahead log it replaces.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x53504353;
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES;
+    private static final int MIN_RECORD_BYTES = Long.BYTES + Integer.BYTES * 2;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Contents of a snapshot.
+     *
+     * @param nextId the next ID to assign to a new spaceship
+     * @param records the stored spaceships
+     */
+    record Snapshot(long nextId, List<SpaceshipRecord> records) {
+    }
+
+    static void write(Path path, long nextId, Collection<SpaceshipRecord> records) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeLong(nextId);
+            out.writeInt(records.size());
+            for (SpaceshipRecord record : records) {
+                record.writeTo(out);
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Directories.syncParent(path);
+    }
+
+    /**
+     * Reads a snapshot, rejecting any count or length that does not fit in the file before
+     * allocating memory for it.
+     *
+     * @param path the snapshot file
+     * @return the snapshot, or an empty one if the file does not exist
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    static Snapshot read(Path path) throws IOException {
+        if (Files.notExists(path)) {
+            return new Snapshot(1, List.of());
+        }
+        long size = Files.size(path);
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path)), new CRC32())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a spaceship snapshot: " + path);
+            }
+            long nextId = in.readLong();
+            int count = in.readInt();
+            if (count < 0 || count > (size - HEADER_BYTES - TRAILER_BYTES) / MIN_RECORD_BYTES) {
+                throw new IOException("Corrupt spaceship snapshot: " + path + " declares " + count + " spaceships");
+            }
+            List<SpaceshipRecord> records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                records.add(SpaceshipRecord.readFrom(in));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Corrupt spaceship snapshot: " + path);
+            }
+            return new Snapshot(nextId, records);
+        } catch (EOFException | CorruptRecordException e) {
+            throw new IOException("Corrupt spaceship snapshot: " + path, e);
+        }
+    }
+}
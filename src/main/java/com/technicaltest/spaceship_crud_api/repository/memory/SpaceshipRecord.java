@@ -0,0 +1,68 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable copy of a spaceship as held by {@link InMemorySpaceshipStore}.
+ *
+ * Readers never see the stored value directly: {@link #toSpaceship()} hands out a fresh
+ * entity, so callers may modify it without affecting the store.
+ */
+record SpaceshipRecord(long id, String name, String series) {
+
+    /**
+     * Largest encoded string accepted when reading, matching the largest write-ahead log entry.
+     */
+    static final int MAX_STRING_BYTES = WriteAheadLog.MAX_ENTRY_BYTES;
+
+    static SpaceshipRecord of(long id, Spaceship spaceship) {
+        return new SpaceshipRecord(id, spaceship.getName(), spaceship.getSeries());
+    }
+
+    Spaceship toSpaceship() {
+        Spaceship spaceship = new Spaceship(name, series);
+        spaceship.setId(id);
+        return spaceship;
+    }
+
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(id);
+        writeString(out, name);
+        writeString(out, series);
+    }
+
+    static SpaceshipRecord readFrom(DataInput in) throws IOException {
+        long id = in.readLong();
+        String name = readString(in);
+        String series = readString(in);
+        return new SpaceshipRecord(id, name, series);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) {
+            return null;
+        }
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new CorruptRecordException("Invalid spaceship string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
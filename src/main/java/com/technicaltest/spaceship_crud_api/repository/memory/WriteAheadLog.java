@@ -0,0 +1,246 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of spaceship changes used by {@link InMemorySpaceshipStore}.
+ *
+ * Each entry is framed as {@code [length][crc32][payload]} so that a torn write at the end of
+ * the file can be detected and discarded on recovery. Appends must be serialised by the caller;
+ * {@link #awaitDurable(long)} may be called concurrently and batches the fsync of every entry
+ * appended so far into a single {@link FileChannel#force(boolean)} (group commit).
+ *
+ * A failed append or fsync leaves the file in an unknown state, so the log fails stop: every
+ * later append or sync is rejected instead of silently diverging from what is on disk.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteAheadLog.class);
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    static final int MAX_ENTRY_BYTES = 16 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final Object syncMonitor = new Object();
+    private volatile long appendedSeq;
+    private volatile IOException failure;
+    private volatile long durableSeq;
+
+    WriteAheadLog(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the log at the given path, creating it if needed, and syncs its directory so that a
+     * newly created log survives a crash. {@link #replay} must be called before appending so
+     * that new entries are written after the last valid one.
+     *
+     * @param path the log file
+     * @return the opened log
+     * @throws IOException if the file cannot be opened
+     */
+    static WriteAheadLog open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Directories.syncParent(path);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new WriteAheadLog(channel);
+    }
+
+    /**
+     * Replays every valid entry in order and truncates whatever follows the last valid entry.
+     *
+     * @param onPut receives every saved spaceship
+     * @param onDelete receives the ID of every deleted spaceship
+     * @throws IOException if the log cannot be read
+     */
+    void replay(Consumer<SpaceshipRecord> onPut, LongConsumer onDelete) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || length > MAX_ENTRY_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, position + HEADER_BYTES);
+            if (checksum(payload.array()) != checksum) {
+                break;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload.array()));
+            byte operation = in.readByte();
+            if (operation == PUT) {
+                onPut.accept(SpaceshipRecord.readFrom(in));
+            } else if (operation == DELETE) {
+                onDelete.accept(in.readLong());
+            } else {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        if (position < size) {
+            logger.warn("Discarding {} bytes of torn write-ahead log tail", size - position);
+            channel.truncate(position);
+            channel.force(true);
+        }
+        channel.position(position);
+    }
+
+    /**
+     * Appends the saved state of a spaceship.
+     *
+     * @param record the spaceship to log
+     * @return the sequence number to pass to {@link #awaitDurable(long)}
+     * @throws IOException if the entry cannot be written
+     */
+    long appendPut(SpaceshipRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(PUT);
+        record.writeTo(out);
+        return append(bytes.toByteArray());
+    }
+
+    /**
+     * Appends the deletion of a spaceship.
+     *
+     * @param id the ID of the deleted spaceship
+     * @return the sequence number to pass to {@link #awaitDurable(long)}
+     * @throws IOException if the entry cannot be written
+     */
+    long appendDelete(long id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(DELETE);
+        out.writeLong(id);
+        return append(bytes.toByteArray());
+    }
+
+    /**
+     * Blocks until the entry with the given sequence number is on stable storage. The thread
+     * that performs the fsync also makes durable every entry appended before it started.
+     *
+     * @param seq the sequence number returned by an append
+     * @throws IOException if the log cannot be forced to disk
+     */
+    void awaitDurable(long seq) throws IOException {
+        synchronized (syncMonitor) {
+            if (durableSeq >= seq) {
+                return;
+            }
+            checkNotFailed();
+            long target = appendedSeq;
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            }
+            durableSeq = target;
+        }
+    }
+
+    /**
+     * Empties the log once its entries have been captured in a snapshot.
+     *
+     * @throws IOException if the log cannot be truncated
+     */
+    void reset() throws IOException {
+        synchronized (syncMonitor) {
+            channel.truncate(0);
+            channel.force(true);
+            durableSeq = appendedSeq;
+        }
+    }
+
+    long appendedSeq() {
+        return appendedSeq;
+    }
+
+    long durableSeq() {
+        return durableSeq;
+    }
+
+    /**
+     * Indicates whether an earlier append or fsync failed, after which the log accepts no more writes.
+     *
+     * @return {@code true} if the log has failed
+     */
+    boolean hasFailed() {
+        return failure != null;
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long append(byte[] payload) throws IOException {
+        if (payload.length > MAX_ENTRY_BYTES) {
+            throw new IllegalArgumentException("Spaceship is too large to store: " + payload.length + " bytes");
+        }
+        checkNotFailed();
+        ByteBuffer entry = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        entry.putInt(payload.length).putInt(checksum(payload)).put(payload).flip();
+        try {
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+        } catch (IOException e) {
+            failure = e;
+            throw e;
+        }
+        return ++appendedSeq;
+    }
+
+    private void checkNotFailed() throws IOException {
+        IOException cause = failure;
+        if (cause != null) {
+            throw new IOException("Write-ahead log is unusable after an earlier failure", cause);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
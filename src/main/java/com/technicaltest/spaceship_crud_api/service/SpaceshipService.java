@@ -1,13 +1,12 @@
 package com.technicaltest.spaceship_crud_api.service;
 
 import com.technicaltest.spaceship_crud_api.model.Spaceship;
-import com.technicaltest.spaceship_crud_api.repository.SpaceshipRepository;
+import com.technicaltest.spaceship_crud_api.repository.SpaceshipStore;
 
 import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,49 +16,52 @@ import java.util.Optional;
 public class SpaceshipService {
 
     @Autowired
-    private SpaceshipRepository repository;
+    private SpaceshipStore store;
     
-    public SpaceshipService(SpaceshipRepository repository) {
-        this.repository = repository;
+    public SpaceshipService(SpaceshipStore store) {
+        this.store = store;
     }
 
 	/**
-	* Initializes the spaceship data in the repository after the bean creation.
+	* Initializes the spaceship data in the store after the bean creation.
 	*
-	* This method is annotated with {@code @PostConstruct} to populate the repository
+	* This method is annotated with {@code @PostConstruct} to populate the store
 	* with a predefined list of spaceships from the "Star Wars" series when the application
-	* context is loaded.
+	* context is loaded. Nothing is loaded if the store recovered data from a previous run.
 	*/
     @PostConstruct
     public void initData() {
-        repository.save(new Spaceship("X-Wing", "Star Wars"));
-        repository.save(new Spaceship("TIE Fighter", "Star Wars"));
-        repository.save(new Spaceship("Millennium Falcon", "Star Wars"));
-        repository.save(new Spaceship("Slave I", "Star Wars"));
-        repository.save(new Spaceship("Star Destroyer", "Star Wars"));
-        repository.save(new Spaceship("Executor", "Star Wars"));
-        repository.save(new Spaceship("Nebulon-B Frigate", "Star Wars"));
-        repository.save(new Spaceship("Jedi Starfighter", "Star Wars"));
+        if (store.hasRecoveredData()) {
+            return;
+        }
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        store.save(new Spaceship("Millennium Falcon", "Star Wars"));
+        store.save(new Spaceship("Slave I", "Star Wars"));
+        store.save(new Spaceship("Star Destroyer", "Star Wars"));
+        store.save(new Spaceship("Executor", "Star Wars"));
+        store.save(new Spaceship("Nebulon-B Frigate", "Star Wars"));
+        store.save(new Spaceship("Jedi Starfighter", "Star Wars"));
     }
 
     public List<Spaceship> getAllSpaceships(int page, int size) {
-        return repository.findAll(PageRequest.of(page, size)).getContent();
+        return store.findAll(page, size);
     }
 
     public Optional<Spaceship> getSpaceshipById(Long id) {
-        return repository.findById(id);
+        return store.findById(id);
     }
 
     @Cacheable("spaceshipsByName")
     public List<Spaceship> getSpaceshipsByName(String name) {
-        return repository.findByNameContaining(name);
+        return store.findByNameContaining(name);
     }
 
     public Spaceship saveSpaceship(Spaceship spaceship) {
-        return repository.save(spaceship);
+        return store.save(spaceship);
     }
 
     public void deleteSpaceship(Long id) {
-        repository.deleteById(id);
+        store.deleteById(id);
     }
 }
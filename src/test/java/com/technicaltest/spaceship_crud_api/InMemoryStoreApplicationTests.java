@@ -0,0 +1,104 @@
+package com.technicaltest.spaceship_crud_api;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+import com.technicaltest.spaceship_crud_api.repository.SpaceshipRepository;
+import com.technicaltest.spaceship_crud_api.repository.SpaceshipStore;
+import com.technicaltest.spaceship_crud_api.repository.memory.InMemorySpaceshipStore;
+import com.technicaltest.spaceship_crud_api.service.SpaceshipService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spaceship.store.type=memory")
+class InMemoryStoreApplicationTests {
+
+	@TempDir
+	static Path directory;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private SpaceshipStore store;
+
+	@Autowired
+	private SpaceshipService service;
+
+	@DynamicPropertySource
+	static void storeProperties(DynamicPropertyRegistry registry) {
+		registry.add("spaceship.store.memory.directory", () -> directory.toString());
+	}
+
+	/**
+	 * Tests that the in-memory store is selected and that the JPA stack is not started.
+	 */
+	@Test
+	void contextUsesInMemoryStore() {
+		assertEquals(InMemorySpaceshipStore.class, AopUtils.getTargetClass(store));
+		assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+		assertTrue(context.getBeansOfType(SpaceshipRepository.class).isEmpty());
+	}
+
+	/**
+	 * Tests that the service creates, finds, searches and deletes spaceships through the in-memory store.
+	 */
+	@Test
+	void serviceWorksWithInMemoryStore() {
+		// Arrange & Act
+		Spaceship saved = service.saveSpaceship(new Spaceship("Rocinante", "The Expanse"));
+
+		// Assert
+		assertEquals("Rocinante", service.getSpaceshipById(saved.getId()).get().getName());
+		assertEquals(List.of(saved.getId()),
+				service.getSpaceshipsByName("Rocinante").stream().map(Spaceship::getId).toList());
+		service.deleteSpaceship(saved.getId());
+		assertFalse(service.getSpaceshipById(saved.getId()).isPresent());
+	}
+
+	/**
+	 * Tests that the initial data is loaded on the first start only, so that spaceships deleted
+	 * before a restart do not come back.
+	 */
+	@Test
+	void initialDataNotReloadedOnRestart(@TempDir Path restartDirectory) {
+		// Arrange
+		try (ConfigurableApplicationContext first = start(restartDirectory)) {
+			SpaceshipService firstService = first.getBean(SpaceshipService.class);
+			assertEquals(8, firstService.getAllSpaceships(0, 100).size());
+			firstService.deleteSpaceship(1L);
+		}
+
+		// Act
+		try (ConfigurableApplicationContext second = start(restartDirectory)) {
+			List<String> names = second.getBean(SpaceshipService.class).getAllSpaceships(0, 100).stream()
+					.map(Spaceship::getName)
+					.toList();
+
+			// Assert
+			assertEquals(7, names.size());
+			assertFalse(names.contains("X-Wing"));
+		}
+	}
+
+	private static ConfigurableApplicationContext start(Path directory) {
+		return new SpringApplicationBuilder(SpaceshipCrudApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spaceship.store.type=memory", "--spaceship.store.memory.directory=" + directory);
+	}
+}
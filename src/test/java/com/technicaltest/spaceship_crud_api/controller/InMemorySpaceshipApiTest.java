@@ -0,0 +1,23 @@
+package com.technicaltest.spaceship_crud_api.controller;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+
+/**
+ * Runs the spaceship API contract against the in-memory store.
+ */
+@SpringBootTest(properties = "spaceship.store.type=memory")
+class InMemorySpaceshipApiTest extends SpaceshipApiContractTest {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void storeProperties(DynamicPropertyRegistry registry) {
+        registry.add("spaceship.store.memory.directory", () -> directory.toString());
+    }
+}
@@ -0,0 +1,10 @@
+package com.technicaltest.spaceship_crud_api.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the spaceship API contract against the default JPA store, on its own H2 database.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:spaceshipApiTest")
+class JpaSpaceshipApiTest extends SpaceshipApiContractTest {
+}
@@ -0,0 +1,164 @@
+package com.technicaltest.spaceship_crud_api.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * HTTP behaviour of the spaceship API over a real application context. Each subclass starts
+ * the application with a different {@code SpaceshipStore}, so that both stores are held to the
+ * same contract.
+ */
+@AutoConfigureMockMvc
+abstract class SpaceshipApiContractTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Tests that a created spaceship gets an ID and can be retrieved by it.
+     */
+    @Test
+    public void testCreateAndGetById() throws Exception {
+        // Arrange & Act
+        Spaceship created = create("Rocinante", "The Expanse");
+
+        // Assert
+        mockMvc.perform(get("/api/spaceships/" + created.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(created.getId()))
+            .andExpect(jsonPath("$.name").value("Rocinante"))
+            .andExpect(jsonPath("$.series").value("The Expanse"));
+    }
+
+    /**
+     * Tests that an unknown ID returns NOT FOUND.
+     */
+    @Test
+    public void testGetByIdNotFound() throws Exception {
+        mockMvc.perform(get("/api/spaceships/" + Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that pages are consecutive slices of the full list and that the default page size is 10.
+     */
+    @Test
+    public void testPaging() throws Exception {
+        // Arrange
+        List<Spaceship> all = list("/api/spaceships?page=0&size=1000");
+
+        // Act
+        List<Spaceship> secondPage = list("/api/spaceships?page=1&size=2");
+        List<Spaceship> defaultPage = list("/api/spaceships");
+
+        // Assert
+        assertTrue(all.size() >= 4);
+        assertEquals(ids(all.subList(2, 4)), ids(secondPage));
+        assertEquals(ids(all.subList(0, Math.min(10, all.size()))), ids(defaultPage));
+    }
+
+    /**
+     * Tests that invalid pagination parameters are reported as INTERNAL SERVER ERROR by the global handler.
+     */
+    @Test
+    public void testInvalidPaging() throws Exception {
+        mockMvc.perform(get("/api/spaceships?page=0&size=0"))
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.status").value(500))
+            .andExpect(jsonPath("$.error").value("Internal Server Error"))
+            .andExpect(jsonPath("$.path").value("/api/spaceships"));
+    }
+
+    /**
+     * Tests that searching by part of a name returns only the matching spaceships.
+     */
+    @Test
+    public void testSearchByName() throws Exception {
+        // Arrange
+        String marker = UUID.randomUUID().toString();
+        Spaceship created = create("Razorback " + marker, "The Expanse");
+
+        // Act
+        List<Spaceship> found = list("/api/spaceships/search?name=" + marker);
+
+        // Assert
+        assertEquals(List.of(created.getId()), ids(found));
+    }
+
+    /**
+     * Tests that updating a spaceship replaces its fields under the same ID.
+     */
+    @Test
+    public void testUpdate() throws Exception {
+        // Arrange
+        Spaceship created = create("Tachi", "The Expanse");
+        Spaceship update = new Spaceship("Rocinante", "The Expanse");
+
+        // Act & Assert
+        mockMvc.perform(put("/api/spaceships/" + created.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(update)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(created.getId()))
+            .andExpect(jsonPath("$.name").value("Rocinante"));
+        mockMvc.perform(get("/api/spaceships/" + created.getId()))
+            .andExpect(jsonPath("$.name").value("Rocinante"));
+    }
+
+    /**
+     * Tests that a deleted spaceship returns NO CONTENT and can no longer be retrieved.
+     */
+    @Test
+    public void testDelete() throws Exception {
+        // Arrange
+        Spaceship created = create("Canterbury", "The Expanse");
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/spaceships/" + created.getId()))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/spaceships/" + created.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    private Spaceship create(String name, String series) throws Exception {
+        String body = mockMvc.perform(post("/api/spaceships")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Spaceship(name, series))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").isNumber())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, Spaceship.class);
+    }
+
+    private List<Spaceship> list(String url) throws Exception {
+        String body = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, new TypeReference<List<Spaceship>>() { });
+    }
+
+    private static List<Long> ids(List<Spaceship> spaceships) {
+        return spaceships.stream().map(Spaceship::getId).toList();
+    }
+}
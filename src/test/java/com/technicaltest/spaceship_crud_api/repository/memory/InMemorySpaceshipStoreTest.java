@@ -0,0 +1,403 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import com.technicaltest.spaceship_crud_api.model.Spaceship;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemorySpaceshipStoreTest {
+
+    /**
+     * Compaction interval long enough that the background task never runs during a test.
+     */
+    private static final long MANUAL = 60 * 60 * 1000;
+
+    @TempDir
+    Path directory;
+
+    private InMemorySpaceshipStore store;
+
+    /**
+     * Opens an empty store in a temporary directory before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        store = open(1024 * 1024, MANUAL);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        store.close();
+    }
+
+    /**
+     * Tests that saved spaceships get sequential IDs and can be read back by ID, by name and by page.
+     */
+    @Test
+    public void testSaveAndFind() {
+        // Arrange & Act
+        Spaceship xWing = store.save(new Spaceship("X-Wing", "Star Wars"));
+        Spaceship tieFighter = store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        store.save(new Spaceship("Enterprise", "Star Trek"));
+
+        // Assert
+        assertFalse(store.hasRecoveredData());
+        assertEquals(1L, xWing.getId());
+        assertEquals(2L, tieFighter.getId());
+        assertEquals("X-Wing", store.findById(1L).get().getName());
+        assertEquals(List.of("TIE Fighter"), names(store.findByNameContaining("Fighter")));
+        assertEquals(List.of("Enterprise"), names(store.findAll(1, 2)));
+    }
+
+    /**
+     * Tests that saving a spaceship with an existing ID replaces it and that deleting it removes it.
+     */
+    @Test
+    public void testUpdateAndDelete() {
+        // Arrange
+        Spaceship spaceship = store.save(new Spaceship("X-Wing", "Star Wars"));
+
+        // Act
+        spaceship.setName("A-Wing");
+        store.save(spaceship);
+        Optional<Spaceship> updated = store.findById(spaceship.getId());
+        store.deleteById(spaceship.getId());
+
+        // Assert
+        assertEquals("A-Wing", updated.get().getName());
+        assertFalse(store.findById(spaceship.getId()).isPresent());
+    }
+
+    /**
+     * Tests that modifying a returned spaceship does not change the stored one.
+     */
+    @Test
+    public void testReturnedSpaceshipsAreCopies() {
+        // Arrange
+        Spaceship spaceship = store.save(new Spaceship("X-Wing", "Star Wars"));
+
+        // Act
+        store.findById(spaceship.getId()).get().setName("A-Wing");
+
+        // Assert
+        assertEquals("X-Wing", store.findById(spaceship.getId()).get().getName());
+    }
+
+    /**
+     * Tests that saves and deletes written to the log are recovered after a restart.
+     */
+    @Test
+    public void testRecoveryFromLog() {
+        // Arrange
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        store.deleteById(2L);
+        store.close();
+
+        // Act
+        store = open(1024 * 1024, MANUAL);
+
+        // Assert
+        assertTrue(store.hasRecoveredData());
+        assertEquals(List.of("X-Wing"), names(store.findAll(0, 10)));
+        assertEquals(3L, store.save(new Spaceship("Enterprise", "Star Trek")).getId());
+    }
+
+    /**
+     * Tests that a store whose spaceships were all deleted still reports recovered data after a restart,
+     * so the initial data is not loaded again.
+     */
+    @Test
+    public void testRecoveryAfterDeletingEverything() {
+        // Arrange
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        store.deleteById(1L);
+        store.deleteById(2L);
+        store.close();
+
+        // Act
+        store = open(1024 * 1024, MANUAL);
+
+        // Assert
+        assertTrue(store.hasRecoveredData());
+        assertTrue(store.findAll(0, 10).isEmpty());
+    }
+
+    /**
+     * Tests that spaceships are recovered from the snapshot once the log has been compacted.
+     */
+    @Test
+    public void testRecoveryAfterCompaction() throws IOException {
+        // Arrange
+        store.close();
+        store = open(1, MANUAL);
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        store.compactIfNeeded();
+        assertEquals(0L, Files.size(logFile()));
+        store.close();
+
+        // Act
+        store = open(1, MANUAL);
+
+        // Assert
+        assertEquals(List.of("X-Wing", "TIE Fighter"), names(store.findAll(0, 10)));
+    }
+
+    /**
+     * Tests that a snapshot declaring a negative or impossibly large number of spaceships is
+     * rejected as corrupt instead of being allocated.
+     */
+    @Test
+    public void testCorruptSnapshotCountRejected() throws IOException {
+        for (int count : new int[] {-1, Integer.MAX_VALUE}) {
+            // Arrange
+            writeCorruptSnapshot(12, count);
+
+            // Act & Assert
+            assertCorruptSnapshot();
+        }
+    }
+
+    /**
+     * Tests that a snapshot with an impossible string length is rejected as corrupt.
+     */
+    @Test
+    public void testCorruptSnapshotStringLengthRejected() throws IOException {
+        for (int length : new int[] {-2, Integer.MAX_VALUE}) {
+            // Arrange
+            writeCorruptSnapshot(24, length);
+
+            // Act & Assert
+            assertCorruptSnapshot();
+        }
+    }
+
+    /**
+     * Tests that the log is compacted in the background once it exceeds the threshold.
+     */
+    @Test
+    public void testPeriodicCompaction() throws Exception {
+        // Arrange
+        store.close();
+        store = open(1, 10);
+
+        // Act
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+
+        // Assert
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.size(logFile()) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0L, Files.size(logFile()));
+        assertEquals(List.of("X-Wing"), names(store.findAll(0, 10)));
+    }
+
+    /**
+     * Tests that a failed compaction does not affect writes and is retried on the next run.
+     */
+    @Test
+    public void testFailedCompactionIsRetried() throws IOException {
+        // Arrange
+        store.close();
+        store = open(1, MANUAL);
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        Path blocker = Files.createDirectory(directory.resolve(InMemorySpaceshipStore.SNAPSHOT_FILE + ".tmp"));
+
+        // Act
+        store.compactIfNeeded();
+        Spaceship saved = store.save(new Spaceship("TIE Fighter", "Star Wars"));
+        Files.delete(blocker);
+        store.compactIfNeeded();
+
+        // Assert
+        assertEquals(2L, saved.getId());
+        assertEquals(0L, Files.size(logFile()));
+        assertEquals(List.of("X-Wing", "TIE Fighter"), names(store.findAll(0, 10)));
+    }
+
+    /**
+     * Tests that a torn entry at the end of the log is discarded on recovery.
+     */
+    @Test
+    public void testRecoveryDiscardsTornTail() throws IOException {
+        // Arrange
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.close();
+        Files.write(logFile(), new byte[] {0, 0, 0, 42, 1, 2},
+                StandardOpenOption.APPEND);
+
+        // Act
+        store = open(1024 * 1024, MANUAL);
+
+        // Assert
+        assertEquals(List.of("X-Wing"), names(store.findAll(0, 10)));
+    }
+
+    /**
+     * Tests that spaceships saved concurrently, sharing fsyncs and triggering compactions,
+     * all get unique IDs and are all recovered after a restart.
+     */
+    @Test
+    public void testConcurrentSavesAreDurable() throws Exception {
+        // Arrange
+        int threads = 8;
+        int savesPerThread = 50;
+        store.close();
+        store = open(4096, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> ids = new ArrayList<>();
+                for (int i = 0; i < savesPerThread; i++) {
+                    ids.add(store.save(new Spaceship("Ship " + thread + "-" + i, "Fleet")).getId());
+                }
+                return ids;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        Set<Long> ids = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            ids.addAll(future.get());
+        }
+        executor.shutdown();
+        store.close();
+        store = open(4096, MANUAL);
+
+        // Assert
+        assertEquals(threads * savesPerThread, ids.size());
+        assertEquals(ids, store.findAll(0, threads * savesPerThread).stream()
+                .map(Spaceship::getId)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Tests that the store rejects every write after the write-ahead log fails, while reads keep working.
+     */
+    @Test
+    public void testWritesRejectedAfterLogFailure() {
+        // Arrange
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        store.close();
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> store.save(new Spaceship("TIE Fighter", "Star Wars")));
+        assertThrows(IllegalStateException.class, () -> store.deleteById(1L));
+        assertEquals(List.of("X-Wing"), names(store.findAll(0, 10)));
+    }
+
+    /**
+     * Tests that a save whose fsync fails is never visible to readers and that the store
+     * then rejects further writes.
+     */
+    @Test
+    public void testSaveNotVisibleWhenSyncFails() {
+        // Arrange
+        store.close();
+        FailingFileChannel[] channel = new FailingFileChannel[1];
+        store = openWithFailingLog(channel);
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        channel[0].failForce();
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> store.save(new Spaceship("TIE Fighter", "Star Wars")));
+        assertEquals(List.of("X-Wing"), names(store.findAll(0, 10)));
+        assertTrue(store.findByNameContaining("TIE").isEmpty());
+        assertFalse(store.findById(2L).isPresent());
+        assertThrows(IllegalStateException.class, () -> store.save(new Spaceship("Enterprise", "Star Trek")));
+    }
+
+    /**
+     * Tests that a deletion whose fsync fails is never visible to readers.
+     */
+    @Test
+    public void testDeleteNotVisibleWhenSyncFails() {
+        // Arrange
+        store.close();
+        FailingFileChannel[] channel = new FailingFileChannel[1];
+        store = openWithFailingLog(channel);
+        store.save(new Spaceship("X-Wing", "Star Wars"));
+        channel[0].failForce();
+
+        // Act & Assert
+        assertThrows(UncheckedIOException.class, () -> store.deleteById(1L));
+        assertTrue(store.findById(1L).isPresent());
+    }
+
+    private InMemorySpaceshipStore open(long compactionThresholdBytes, long compactionIntervalMs) {
+        InMemorySpaceshipStore opened = new InMemorySpaceshipStore(directory.toString(),
+                compactionThresholdBytes, compactionIntervalMs);
+        opened.open();
+        return opened;
+    }
+
+    private InMemorySpaceshipStore openWithFailingLog(FailingFileChannel[] channel) {
+        InMemorySpaceshipStore opened = new InMemorySpaceshipStore(directory.toString(), 1024 * 1024, MANUAL) {
+            @Override
+            WriteAheadLog openLog(Path path) throws IOException {
+                channel[0] = new FailingFileChannel(FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE));
+                return new WriteAheadLog(channel[0]);
+            }
+        };
+        opened.open();
+        return opened;
+    }
+
+    /**
+     * Writes a valid snapshot holding one spaceship, then overwrites the int at the given offset.
+     */
+    private void writeCorruptSnapshot(int offset, int value) throws IOException {
+        store.close();
+        Path snapshot = directory.resolve(InMemorySpaceshipStore.SNAPSHOT_FILE);
+        SnapshotFile.write(snapshot, 2, List.of(new SpaceshipRecord(1, "X-Wing", "Star Wars")));
+        byte[] bytes = Files.readAllBytes(snapshot);
+        ByteBuffer.wrap(bytes).putInt(offset, value);
+        Files.write(snapshot, bytes);
+    }
+
+    private void assertCorruptSnapshot() {
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class, () -> open(1024 * 1024, MANUAL));
+        assertTrue(exception.getCause().getMessage().startsWith("Corrupt spaceship snapshot"));
+    }
+
+    private Path logFile() {
+        return directory.resolve(InMemorySpaceshipStore.LOG_FILE);
+    }
+
+    private static List<String> names(List<Spaceship> spaceships) {
+        return spaceships.stream().map(Spaceship::getName).toList();
+    }
+}
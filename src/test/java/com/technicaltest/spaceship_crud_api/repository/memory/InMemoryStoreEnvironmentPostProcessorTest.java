@@ -0,0 +1,59 @@
+package com.technicaltest.spaceship_crud_api.repository.memory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InMemoryStoreEnvironmentPostProcessorTest {
+
+    private final InMemoryStoreEnvironmentPostProcessor postProcessor = new InMemoryStoreEnvironmentPostProcessor();
+
+    /**
+     * Tests that exclusions configured in indexed form are kept alongside the JPA exclusions.
+     */
+    @Test
+    public void testKeepsIndexedExclusions() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spaceship.store.type", "MEMORY")
+                .withProperty("spring.autoconfigure.exclude[0]", "com.example.FirstAutoConfiguration")
+                .withProperty("spring.autoconfigure.exclude[1]", "com.example.SecondAutoConfiguration");
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+        List<String> excluded = exclusions(environment);
+
+        // Assert
+        assertEquals(List.of("com.example.FirstAutoConfiguration", "com.example.SecondAutoConfiguration"),
+                excluded.subList(0, 2));
+        assertTrue(excluded.contains("org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration"));
+    }
+
+    /**
+     * Tests that nothing is excluded when the JPA store is used.
+     */
+    @Test
+    public void testNoExclusionsForJpaStore() {
+        // Arrange
+        MockEnvironment environment = new MockEnvironment().withProperty("spaceship.store.type", "jpa");
+
+        // Act
+        postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+        // Assert
+        assertTrue(exclusions(environment).isEmpty());
+    }
+
+    private static List<String> exclusions(MockEnvironment environment) {
+        return Binder.get(environment)
+                .bind("spring.autoconfigure.exclude", Bindable.listOf(String.class))
+                .orElse(List.of());
+    }
+}